@@ -0,0 +1,245 @@
+import java.util.*;
+
+//this class is the approximate mode's stand-in for CommitFileGraph (and for the file tallies CommitDatabase calculates).
+//instead of storing every file and every pair of files that appeared together, it counts them with fixed-size sketches:
+//a Space-Saving counter remembers the most frequent files/pairs and a Count-Min sketch tightens their counts.
+//memory stays the same however many commits are added, in exchange for counts that may be slightly too high
+//and rarely appearing files/pairs being forgotten
+public class ApproximateCommitCounts {
+
+    private SpaceSavingCounter<String> frequentFiles;
+    private CountMinSketch fileSketch;
+    private CountMinSketch pairSketch;
+
+    //pairs are never turned into strings: each pair is identified by a 64-bit hash combined from its two files' hashes
+    //(see CountMinSketch's combineHashes(..)). The Space-Saving counter counts pairs by that hash, and the names of the
+    //files of each pair it currently tracks (in alphabetical order) are kept alongside so they can be reported
+    private SpaceSavingCounter<Long> frequentPairs;
+    private Map<Long, List<String>> trackedPairFiles;
+
+    //tracked pairs ranked by estimated tally, and each tracked file's partners in that same order.
+    //both are built on the first query after a commit is added and reused until the next one (null means out of date)
+    private List<Map.Entry<List<String>, Integer>> rankedPairs;
+    private Map<String, List<String>> rankedPartners;
+
+
+    //returns how many sketch counters (4 bytes each) one ApproximateCommitCounts with these error bounds holds (one sketch for files, one for pairs)
+    static double sketchCounterCount(double errorRate, double failureProbability){
+        return 2 * CountMinSketch.counterCount(errorRate, failureProbability);
+    }
+
+
+    ApproximateCommitCounts(double errorRate, double failureProbability, int capacity){
+        frequentFiles = new SpaceSavingCounter<>(capacity);
+        fileSketch = new CountMinSketch(errorRate, failureProbability);
+        pairSketch = new CountMinSketch(errorRate, failureProbability);
+        frequentPairs = new SpaceSavingCounter<>(capacity);
+        trackedPairFiles = new HashMap<>();
+        rankedPairs = null;
+        rankedPartners = null;
+    }
+
+
+
+    //this function is invoked whenever addCommit(..) function is called (in place of CommitFileGraph's addToGraph(..)).
+    //it is fed the set of files of the commit, and updates the file and pair counts accordingly
+    void addCommit(Set<String> commitFiles){
+        //each file is hashed once, and its hashes are reused for every pair it is part of
+        String[] files = commitFiles.toArray(new String[0]);
+        long[] firstHashes = new long[files.length];
+        long[] secondHashes = new long[files.length];
+        for(int i=0; i<files.length; i++){
+            firstHashes[i] = fileSketch.firstHash(files[i]);
+            secondHashes[i] = fileSketch.secondHash(firstHashes[i]);
+            fileSketch.add(firstHashes[i], secondHashes[i]);
+            frequentFiles.add(files[i]);
+        }
+        for(int i=0; i<files.length; i++){
+            for(int j=i+1; j<files.length; j++){
+                long pairFirstHash = CountMinSketch.combineHashes(firstHashes[i], firstHashes[j]);
+                long pairSecondHash = CountMinSketch.combineHashes(secondHashes[i], secondHashes[j]);
+                pairSketch.add(pairFirstHash, pairSecondHash);
+                Long pair = pairFirstHash;
+                Long replacedPair = frequentPairs.add(pair);
+                if(replacedPair!=null){
+                    trackedPairFiles.remove(replacedPair);   //no longer tracked, so its file names are not needed
+                }
+                if(!trackedPairFiles.containsKey(pair)){   //newly tracked pair, so remember its file names
+                    trackedPairFiles.put(pair, alphabeticalPair(files[i], files[j]));
+                }
+            }
+        }
+        //tallies changed, so the rankings have to be rebuilt on the next query
+        rankedPairs = null;
+        rankedPartners = null;
+    }
+
+
+
+    //approximate version of CommitDatabase's calculateFileOccurrences(..): the most frequent files and their estimated tallies,
+    //sorted by tally in descending order. Both sketches only ever over-count, so the smaller of their two counts is used
+    Map<String, Integer> fileOccurrences(){
+        List<String> files = frequentFiles.sortedKeys();
+        final Map<String, Integer> occurrences = new HashMap<>();
+        for(String file: files){
+            occurrences.put(file, Math.min(frequentFiles.count(file), fileSketch.estimate(file)));
+        }
+        files.sort(new Comparator<String>(){
+            public int compare(String file1, String file2){
+                int occurrencesCompare = Integer.compare(occurrences.get(file2), occurrences.get(file1));
+                if(occurrencesCompare!=0){
+                    return occurrencesCompare;
+                }
+                return file1.compareTo(file2);
+            }
+        });
+        Map<String, Integer> sortedOccurrences = new LinkedHashMap<>();   //LinkedHashMap used to retain sorted order
+        for(String file: files){
+            sortedOccurrences.put(file, occurrences.get(file));
+        }
+        return sortedOccurrences;
+    }
+
+
+
+    //returns the estimated number of times a file appeared in a commit. Like pairs, the smaller of the two counts is used
+    //when the file is tracked by the Space-Saving counter, and the Count-Min estimate alone when it is not
+    int occurrences(String file){
+        int sketchEstimate = fileSketch.estimate(file);
+        int trackedCount = frequentFiles.count(file);
+        if(trackedCount==0){   //file not tracked
+            return sketchEstimate;
+        }
+        return Math.min(trackedCount, sketchEstimate);
+    }
+
+
+
+    private List<String> alphabeticalPair(String file1, String file2){
+        if(file1.compareTo(file2)<0){
+            return Arrays.asList(file1, file2);
+        }
+        return Arrays.asList(file2, file1);
+    }
+
+
+
+    //returns the estimated number of times two files appeared together in a commit.
+    //both sketches only ever over-count, so the smaller count is used when the pair is tracked by the Space-Saving counter.
+    //a pair it has dropped (to make room for others) is estimated by the Count-Min sketch alone
+    int occurrencesTogether(String file1, String file2){
+        long firstHash1 = fileSketch.firstHash(file1);
+        long firstHash2 = fileSketch.firstHash(file2);
+        long pairFirstHash = CountMinSketch.combineHashes(firstHash1, firstHash2);
+        long pairSecondHash = CountMinSketch.combineHashes(fileSketch.secondHash(firstHash1), fileSketch.secondHash(firstHash2));
+        int sketchEstimate = pairSketch.estimate(pairFirstHash, pairSecondHash);
+        int trackedCount = frequentPairs.count(pairFirstHash);
+        if(trackedCount==0){   //pair not tracked
+            return sketchEstimate;
+        }
+        return Math.min(trackedCount, sketchEstimate);
+    }
+
+
+
+    //returns all tracked pairs of files with their estimated tallies, largest tally first (ties broken alphabetically).
+    //the ranking (and each file's partners) is only recalculated if commits were added since the last call
+    private List<Map.Entry<List<String>, Integer>> sortedPairs(){
+        if(rankedPairs!=null){
+            return rankedPairs;
+        }
+        List<Map.Entry<List<String>, Integer>> pairs = new ArrayList<>();
+        for(Long pair: frequentPairs.sortedKeys()){
+            List<String> files = trackedPairFiles.get(pair);
+            int occurrences = occurrencesTogether(files.get(0), files.get(1));
+            pairs.add(new AbstractMap.SimpleEntry<>(files, occurrences));
+        }
+        pairs.sort(new Comparator<Map.Entry<List<String>, Integer>>(){
+            public int compare(Map.Entry<List<String>, Integer> pair1, Map.Entry<List<String>, Integer> pair2){
+                int occurrencesCompare = Integer.compare(pair2.getValue(), pair1.getValue());
+                if(occurrencesCompare!=0){
+                    return occurrencesCompare;
+                }
+                int firstFileCompare = pair1.getKey().get(0).compareTo(pair2.getKey().get(0));
+                if(firstFileCompare!=0){
+                    return firstFileCompare;
+                }
+                return pair1.getKey().get(1).compareTo(pair2.getKey().get(1));
+            }
+        });
+        //group each file's partners in ranked order so a single file's partners can be looked up without scanning every pair
+        Map<String, List<String>> partners = new HashMap<>();
+        for(Map.Entry<List<String>, Integer> pair: pairs){
+            String file1 = pair.getKey().get(0);
+            String file2 = pair.getKey().get(1);
+            if(!partners.containsKey(file1)){
+                partners.put(file1, new ArrayList<>());
+            }
+            partners.get(file1).add(file2);
+            if(!partners.containsKey(file2)){
+                partners.put(file2, new ArrayList<>());
+            }
+            partners.get(file2).add(file1);
+        }
+        rankedPairs = pairs;
+        rankedPartners = partners;
+        return rankedPairs;
+    }
+
+
+
+    //returns (at most) the "limit" tracked files that appeared together with the given file the most times, in descending order
+    List<String> topPartners(String file, int limit){
+        sortedPairs();   //makes sure rankedPartners is up to date
+        if(!rankedPartners.containsKey(file)){
+            return new ArrayList<>();
+        }
+        List<String> partners = rankedPartners.get(file);
+        return new ArrayList<>(partners.subList(0, Math.min(limit, partners.size())));
+    }
+
+
+
+    //returns (at most) the "limit" tracked pairs of files that appeared together the most times, in descending order
+    List<Set<String>> topPairs(int limit){
+        List<Set<String>> topPairs = new ArrayList<>();
+        for(Map.Entry<List<String>, Integer> pair: sortedPairs()){
+            if(topPairs.size()>=limit){
+                break;
+            }
+            topPairs.add(new LinkedHashSet<>(pair.getKey()));
+        }
+        return topPairs;
+    }
+
+
+
+    //approximate version of CommitFileGraph's groupComponents(..). Only tracked files and pairs take part:
+    //a small graph is built from the tracked files and the tracked pairs whose estimated tally meets the threshold,
+    //and that graph is grouped into components the same way the exact graph is
+    Set<Set<String>> groupComponents(int threshold){
+        CommitFileGraph strongPairsGraph = new CommitFileGraph();
+        for(String file: frequentFiles.sortedKeys()){
+            strongPairsGraph.addToGraph(Collections.singleton(file));   //files with no strong pair still form their own component
+        }
+        for(Map.Entry<List<String>, Integer> pair: sortedPairs()){
+            if(pair.getValue()>=threshold){
+                strongPairsGraph.addToGraph(new HashSet<>(pair.getKey()));
+            }
+        }
+        return strongPairsGraph.groupComponents(1);   //every edge left in the graph already meets the threshold
+    }
+
+
+
+    void clear(){
+        frequentFiles.clear();
+        fileSketch.clear();
+        frequentPairs.clear();
+        trackedPairFiles.clear();
+        pairSketch.clear();
+        rankedPairs = null;
+        rankedPartners = null;
+    }
+
+}
@@ -0,0 +1,197 @@
+import java.util.*;
+
+//this class is a standalone benchmark that compares CommitManager's exact mode with its approximate (sketch-based) mode.
+//it generates a reproducible set of synthetic commits (a few files change very often and most files rarely, like a real repository),
+//feeds them to a CommitManager in each mode, and reports accuracy, heap use, ingest time and query time.
+//accuracy is measured against true tallies calculated directly from the generated commits.
+//
+//usage: java ApproximateModeBenchmark [commits] [files] [errorRate] [failureProbability] [capacity] [topK] [componentThreshold] [rounds]
+//defaults: 40000 commits, 20000 files, errorRate 0.001, failureProbability 0.01, capacity 2000, topK 20, componentThreshold 5, rounds 2
+//(later rounds give steadier timings since the JVM has warmed up by then; the mode that runs first alternates between rounds
+//so neither mode always gets the benefit of code the other one already warmed up)
+public class ApproximateModeBenchmark {
+
+    private static final int MAX_FILES_PER_COMMIT = 8;
+    private static final long RANDOM_SEED = 7;
+
+
+    public static void main(String[] args){
+        int commitCount = intArgument(args, 0, 40000);
+        int fileCount = intArgument(args, 1, 20000);
+        double errorRate = doubleArgument(args, 2, 0.001);
+        double failureProbability = doubleArgument(args, 3, 0.01);
+        int capacity = intArgument(args, 4, 2000);
+        int topK = intArgument(args, 5, 20);
+        int componentThreshold = intArgument(args, 6, 5);
+        int rounds = intArgument(args, 7, 2);
+
+        List<Set<String>> commits = generateCommits(commitCount, fileCount);
+        Map<String, Integer> trueFileOccurrences = new HashMap<>();
+        Map<Set<String>, Integer> truePairOccurrences = new HashMap<>();
+        countExactly(commits, trueFileOccurrences, truePairOccurrences);
+
+        System.out.println("commits=" + commitCount + " files=" + fileCount + " errorRate=" + errorRate + " failureProbability=" + failureProbability
+                + " capacity=" + capacity + " topK=" + topK + " componentThreshold=" + componentThreshold);
+        for(int round=1; round<=rounds; round++){
+            System.out.println("round " + round);
+            boolean approximateFirst = round%2==0;
+            runMode(approximateFirst, commits, errorRate, failureProbability, capacity, topK, componentThreshold, trueFileOccurrences, truePairOccurrences);
+            runMode(!approximateFirst, commits, errorRate, failureProbability, capacity, topK, componentThreshold, trueFileOccurrences, truePairOccurrences);
+        }
+    }
+
+
+
+    //adds every commit to a new CommitManager in the given mode, then times the busyClasses, co-change and component queries
+    //and compares the files and pairs they report (and their tallies) with the true ones
+    private static void runMode(boolean approximate, List<Set<String>> commits, double errorRate, double failureProbability, int capacity,
+                                int topK, int componentThreshold, Map<String, Integer> trueFileOccurrences, Map<Set<String>, Integer> truePairOccurrences){
+        long heapBefore = usedHeap();
+        long ingestStart = System.nanoTime();
+        CommitManager commitManager = new CommitManager();
+        if(approximate){
+            commitManager.setApproximateMode(errorRate, failureProbability, capacity);
+        }
+        for(int i=0; i<commits.size(); i++){
+            commitManager.addCommit("developer" + (i % 50), i, "F-" + (i % 500), commits.get(i));
+        }
+        long ingestNanos = System.nanoTime() - ingestStart;
+        long heapUsed = usedHeap() - heapBefore;
+
+        long queryStart = System.nanoTime();
+        List<String> busyClasses = commitManager.busyClasses(topK);
+        long busyClassesNanos = System.nanoTime() - queryStart;
+        queryStart = System.nanoTime();
+        List<Set<String>> coChangePairs = commitManager.coChangePairs(topK);
+        long coChangePairsNanos = System.nanoTime() - queryStart;
+        queryStart = System.nanoTime();
+        commitManager.componentMinimum(componentThreshold);
+        long componentsNanos = System.nanoTime() - queryStart;
+
+        //busyClasses also returns files tied with the file at the limit, so only its first topK files are compared
+        List<String> topFiles = busyClasses.subList(0, Math.min(topK, busyClasses.size()));
+        List<String> trueTopFiles = topKeys(trueFileOccurrences, topK);
+        List<Set<String>> trueTopPairs = topKeys(truePairOccurrences, topK);
+
+        //tally errors are measured over both the reported and the true top files/pairs, so missed ones count too
+        Set<String> checkedFiles = new HashSet<>(topFiles);
+        checkedFiles.addAll(trueTopFiles);
+        int maxFileError = 0;
+        long totalFileError = 0;
+        for(String file: checkedFiles){
+            int error = Math.abs(commitManager.fileOccurrences(file) - trueFileOccurrences.get(file));
+            maxFileError = Math.max(maxFileError, error);
+            totalFileError += error;
+        }
+        Set<Set<String>> checkedPairs = new HashSet<>(coChangePairs);
+        checkedPairs.addAll(trueTopPairs);
+        int maxPairError = 0;
+        long totalPairError = 0;
+        for(Set<String> pair: checkedPairs){
+            Iterator<String> filesItr = pair.iterator();
+            int error = Math.abs(commitManager.couplingStrength(filesItr.next(), filesItr.next()) - truePairOccurrences.get(pair));
+            maxPairError = Math.max(maxPairError, error);
+            totalPairError += error;
+        }
+
+        System.out.printf("  %-11s heap=%6d KB  ingest=%6d ms  busyClasses=%8.3f ms  coChangePairs=%8.3f ms  componentMinimum=%8.3f ms%n",
+                approximate ? "approximate" : "exact", heapUsed / 1024, ingestNanos / 1000000,
+                busyClassesNanos / 1e6, coChangePairsNanos / 1e6, componentsNanos / 1e6);
+        System.out.printf("              files: top-%d overlap=%d/%d  max tally error=%d  mean tally error=%.2f%n",
+                topK, overlap(topFiles, trueTopFiles), trueTopFiles.size(), maxFileError, (double) totalFileError / checkedFiles.size());
+        System.out.printf("              pairs: top-%d overlap=%d/%d  max tally error=%d  mean tally error=%.2f%n",
+                topK, overlap(coChangePairs, trueTopPairs), trueTopPairs.size(), maxPairError, (double) totalPairError / checkedPairs.size());
+    }
+
+
+
+    //generates commits of 2 to MAX_FILES_PER_COMMIT files, where file i is picked roughly in proportion to 1/i
+    //(so a handful of files appear in many commits), using a fixed seed so every run sees the same commits
+    private static List<Set<String>> generateCommits(int commitCount, int fileCount){
+        Random random = new Random(RANDOM_SEED);
+        List<Set<String>> commits = new ArrayList<>();
+        for(int i=0; i<commitCount; i++){
+            int filesInCommit = Math.min(fileCount, 2 + random.nextInt(MAX_FILES_PER_COMMIT - 1));
+            Set<String> commitFiles = new HashSet<>();
+            while(commitFiles.size()<filesInCommit){
+                int file = (int) Math.pow(fileCount, random.nextDouble());
+                commitFiles.add("src/module" + (file % 40) + "/File" + file + ".java");
+            }
+            commits.add(commitFiles);
+        }
+        return commits;
+    }
+
+
+
+    //calculates the true number of times each file and each pair of files appeared
+    private static void countExactly(List<Set<String>> commits, Map<String, Integer> fileOccurrences, Map<Set<String>, Integer> pairOccurrences){
+        for(Set<String> commitFiles: commits){
+            List<String> files = new ArrayList<>(commitFiles);
+            for(int i=0; i<files.size(); i++){
+                fileOccurrences.merge(files.get(i), 1, Integer::sum);
+                for(int j=i+1; j<files.size(); j++){
+                    Set<String> pair = new HashSet<>();
+                    pair.add(files.get(i));
+                    pair.add(files.get(j));
+                    pairOccurrences.merge(pair, 1, Integer::sum);
+                }
+            }
+        }
+    }
+
+
+
+    //returns the "limit" keys with the largest values
+    private static <K> List<K> topKeys(Map<K, Integer> occurrences, int limit){
+        List<Map.Entry<K, Integer>> entries = new ArrayList<>(occurrences.entrySet());
+        entries.sort(new Comparator<Map.Entry<K, Integer>>(){
+            public int compare(Map.Entry<K, Integer> entry1, Map.Entry<K, Integer> entry2){
+                return Integer.compare(entry2.getValue(), entry1.getValue());
+            }
+        });
+        List<K> topKeys = new ArrayList<>();
+        for(int i=0; i<entries.size() && i<limit; i++){
+            topKeys.add(entries.get(i).getKey());
+        }
+        return topKeys;
+    }
+
+
+
+    //number of items in "found" that are also in "expected" (ties at the cut-off can make the two lists differ slightly even when both are correct)
+    private static <T> int overlap(List<T> found, List<T> expected){
+        Set<T> common = new HashSet<>(found);
+        common.retainAll(new HashSet<>(expected));
+        return common.size();
+    }
+
+
+
+    private static long usedHeap(){
+        Runtime runtime = Runtime.getRuntime();
+        for(int i=0; i<3; i++){
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+
+
+    private static int intArgument(String[] args, int index, int defaultValue){
+        if(args.length>index){
+            return Integer.parseInt(args[index]);
+        }
+        return defaultValue;
+    }
+
+
+
+    private static double doubleArgument(String[] args, int index, double defaultValue){
+        if(args.length>index){
+            return Double.parseDouble(args[index]);
+        }
+        return defaultValue;
+    }
+
+}
@@ -179,6 +179,26 @@ public class CommitDatabase {
 
 
 
+    //invoked when fileOccurrences() is called. Counts how many commits during a certain time window contained the given file
+    int countFileOccurrences(String file, int startTime, int endTime){
+        int occurrences = 0;
+        for(int i=0; i<allCommits.size(); i++){
+            Commit commit = allCommits.get(i);
+            int commitTime = commit.getCommitTime();
+            if(startTime!=-1 && endTime!=-1){   //a time window is in effect
+                if(commitTime<startTime || commitTime>endTime){
+                    continue;   //skip commits outside the time window
+                }
+            }
+            if(commit.getCommitFiles().contains(file)){
+                occurrences++;
+            }
+        }
+        return occurrences;
+    }
+
+
+
     //this method is used to sort maps by value in descending order.
     //invoked when organizeFileOccurrences is called
     private Map<String, Integer> sortByValue(Map<String, Integer> unsortedMap){
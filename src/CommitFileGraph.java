@@ -12,8 +12,18 @@ public class CommitFileGraph {
     //(similar to adjacency list, but with GraphEdges object instead of linked lists for each vertex)
     private Map<String, GraphEdges> commitFileGraph;
 
+    //the strongest pairs (each a two-file list in alphabetical order, with its tally) found by the last topPairs(..) call,
+    //kept sorted by tally (descending, ties broken alphabetically), and the limit that call was made with.
+    //once a query has been made, addToGraph(..) keeps these up to date so later queries never re-rank the graph (null means no query made yet)
+    private TreeSet<Map.Entry<List<String>, Integer>> rankedPairs;
+    private Map<List<String>, Map.Entry<List<String>, Integer>> rankedPairEntries;   //looks up a pair's entry in rankedPairs
+    private int rankedPairsLimit;
+
     CommitFileGraph(){
         commitFileGraph = new HashMap<>();
+        rankedPairs = null;
+        rankedPairEntries = null;
+        rankedPairsLimit = 0;
     }
 
 
@@ -27,6 +37,140 @@ public class CommitFileGraph {
             }
             commitFileGraph.get(file).addEdges(commitFiles, file);   //update all the vertex's edges based on the files of the commit
         }
+        if(rankedPairs!=null){
+            updateRankedPairs(commitFiles);
+        }
+    }
+
+
+
+    //updates the strongest pairs kept for topPairs(..) after a commit is added. Only this commit's pairs changed tally
+    //(each went up by one), so the new strongest pairs are among the kept ones and this commit's pairs
+    private void updateRankedPairs(Set<String> commitFiles){
+        List<String> files = new ArrayList<>(commitFiles);
+        Collections.sort(files);   //sorted so each pair's files are in alphabetical order, like the kept pairs
+        for(int i=0; i<files.size(); i++){
+            for(int j=i+1; j<files.size(); j++){
+                List<String> pair = Arrays.asList(files.get(i), files.get(j));
+                Map.Entry<List<String>, Integer> updatedEntry = new AbstractMap.SimpleEntry<>(pair, occurrencesTogether(files.get(i), files.get(j)));
+                Map.Entry<List<String>, Integer> keptEntry = rankedPairEntries.get(pair);
+                if(keptEntry!=null){   //pair already kept, so move it to its new position
+                    rankedPairs.remove(keptEntry);
+                }
+                else if(rankedPairs.size()>=rankedPairsLimit){   //pair not kept and no room left, so it has to beat the weakest kept pair
+                    Map.Entry<List<String>, Integer> weakestEntry = rankedPairs.last();
+                    if(rankedPairs.comparator().compare(updatedEntry, weakestEntry)>0){
+                        continue;
+                    }
+                    rankedPairs.pollLast();
+                    rankedPairEntries.remove(weakestEntry.getKey());
+                }
+                rankedPairs.add(updatedEntry);
+                rankedPairEntries.put(pair, updatedEntry);
+            }
+        }
+    }
+
+
+
+    //returns how many times two files appeared together in a commit (0 if they never did)
+    int occurrencesTogether(String file1, String file2){
+        GraphEdges fileEdges = commitFileGraph.get(file1);
+        if(fileEdges==null || !fileEdges.getEdges().containsKey(file2)){
+            return 0;
+        }
+        return fileEdges.getEdges().get(file2);
+    }
+
+
+
+    //returns (at most) the "limit" files that appeared together with the given file the most times, in descending order.
+    //returns an empty list if the file is not in the graph
+    List<String> topPartners(String file, int limit){
+        GraphEdges fileEdges = commitFileGraph.get(file);
+        if(fileEdges==null){
+            return new ArrayList<>();
+        }
+        return fileEdges.topEdges(limit);
+    }
+
+
+
+    //returns (at most) the "limit" pairs of files that appeared together the most times, in descending order
+    //(ties broken alphabetically). The result is kept (and updated as commits are added) for later calls with the same
+    //or a smaller limit, so only the first query, or one with a larger limit, has to rank the graph
+    List<Set<String>> topPairs(int limit){
+        //the kept pairs can answer this call if they were found with at least this limit, or if they are every pair in the graph
+        if(rankedPairs==null || (limit>rankedPairsLimit && rankedPairs.size()>=rankedPairsLimit)){
+            rankPairs(limit);
+        }
+        List<Set<String>> topPairs = new ArrayList<>();
+        Iterator<Map.Entry<List<String>, Integer>> itr = rankedPairs.iterator();
+        while(itr.hasNext() && topPairs.size()<limit){
+            topPairs.add(new LinkedHashSet<>(itr.next().getKey()));
+        }
+        return topPairs;
+    }
+
+
+
+    //finds the "limit" strongest pairs and keeps them (with their tallies) for topPairs(..)
+    private void rankPairs(int limit){
+        rankedPairs = new TreeSet<>(pairOrder());
+        rankedPairEntries = new HashMap<>();
+        rankedPairsLimit = limit;
+        for(Map.Entry<List<String>, Integer> entry: findTopPairs(limit)){
+            rankedPairs.add(entry);
+            rankedPairEntries.put(entry.getKey(), entry);
+        }
+    }
+
+
+
+    //orders pairs (two-file lists in alphabetical order, with their tallies) by tally (descending), ties broken alphabetically
+    private Comparator<Map.Entry<List<String>, Integer>> pairOrder(){
+        return new Comparator<Map.Entry<List<String>, Integer>>(){
+            public int compare(Map.Entry<List<String>, Integer> pair1, Map.Entry<List<String>, Integer> pair2){
+                int occurrencesCompare = Integer.compare(pair2.getValue(), pair1.getValue());
+                if(occurrencesCompare!=0){
+                    return occurrencesCompare;
+                }
+                int firstFileCompare = pair1.getKey().get(0).compareTo(pair2.getKey().get(0));
+                if(firstFileCompare!=0){
+                    return firstFileCompare;
+                }
+                return pair1.getKey().get(1).compareTo(pair2.getKey().get(1));
+            }
+        };
+    }
+
+
+
+    //finds the "limit" strongest pairs with a single pass over every edge, keeping the strongest pairs seen so far
+    //in a priority queue of at most "limit" pairs with the weakest at its head. Each pair is stored in both of its files'
+    //edges, so only the copy from its alphabetically first file is looked at
+    private List<Map.Entry<List<String>, Integer>> findTopPairs(int limit){
+        Comparator<Map.Entry<List<String>, Integer>> pairOrder = pairOrder();
+        PriorityQueue<Map.Entry<List<String>, Integer>> strongestPairs = new PriorityQueue<>(Collections.reverseOrder(pairOrder));
+        for(Map.Entry<String, GraphEdges> file: commitFileGraph.entrySet()){
+            for(Map.Entry<String, Integer> edge: file.getValue().getEdges().entrySet()){
+                if(file.getKey().compareTo(edge.getKey())>0){
+                    continue;   //the copy from the pair's alphabetically second file
+                }
+                if(strongestPairs.size()>=limit && edge.getValue()<strongestPairs.peek().getValue()){
+                    continue;   //weaker than every pair kept so far (checked first so most edges are skipped without creating a pair)
+                }
+                Map.Entry<List<String>, Integer> pair = new AbstractMap.SimpleEntry<>(Arrays.asList(file.getKey(), edge.getKey()), edge.getValue());
+                if(strongestPairs.size()<limit){
+                    strongestPairs.add(pair);
+                }
+                else if(pairOrder.compare(pair, strongestPairs.peek())<0){   //beats the weakest pair kept so far
+                    strongestPairs.poll();
+                    strongestPairs.add(pair);
+                }
+            }
+        }
+        return new ArrayList<>(strongestPairs);
     }
 
 
@@ -115,6 +259,8 @@ public class CommitFileGraph {
 
     void clear(){
         commitFileGraph.clear();
+        rankedPairs = null;
+        rankedPairEntries = null;
     }
 
 
@@ -2,6 +2,10 @@ import java.util.*;
 
 public class CommitManager{
 
+    //most sketch counters approximate mode may use, counting both the all-commits sketches and the time window's sketches
+    //(2^25 counters of 4 bytes each = 128 MB). setApproximateMode rejects error bounds that would need more
+    private static final double MAX_SKETCH_COUNTERS = 1 << 25;
+
     //declare instance variables
     private CommitDatabase commitDatabase;
     private int startTime;
@@ -10,6 +14,11 @@ public class CommitManager{
     private CommitFileGraph timeWindowCommitGraph;
     private Set<Set<String>> components;
     private int minimumComponentThreshold;
+    private ApproximateCommitCounts approximateCounts;
+    private ApproximateCommitCounts timeWindowApproximateCounts;
+    private double approximateErrorRate;
+    private double approximateFailureProbability;
+    private int approximateCapacity;
 
 
     public CommitManager(){
@@ -21,6 +30,9 @@ public class CommitManager{
         timeWindowCommitGraph = new CommitFileGraph();   //graph that stores a certain time window's commit files and their appearances together
         components = new HashSet<>();
         minimumComponentThreshold = -1;   //int to store minimum component threshold set by componentMinimum (-1 denotes that threshold not yet set)
+        //null for both denotes exact mode (sketches are only created when approximate mode is set by setApproximateMode)
+        approximateCounts = null;
+        timeWindowApproximateCounts = null;   //only created while both approximate mode and a time window are in effect
     }
 
 
@@ -63,6 +75,13 @@ public class CommitManager{
         //encapsulate commit data in "Commit" object and store in list for later use
         Commit newCommit = new Commit(commitTime, commitFiles, task, developer);
         commitDatabase.add(newCommit);
+        if(approximateCounts!=null){   //approximate mode, so update the sketches instead of the graphs
+            approximateCounts.addCommit(commitFiles);
+            if(startTime!=-1 && endTime!=-1 && commitTime>=startTime && commitTime<=endTime){
+                timeWindowApproximateCounts.addCommit(commitFiles);
+            }
+            return;
+        }
         commitGraph.addToGraph(commitFiles);   //update graph of all files based on the commit files
         if(startTime!=-1 && endTime!=-1){   //a time window is in effect
             if(commitTime>=startTime && commitTime<=endTime){   //this commit falls inside time window
@@ -80,13 +99,21 @@ public class CommitManager{
         if(endTime<startTime){
             return false;
         }
-        //clear and recalculate time window commit graph based on new time window
+        //clear and recalculate time window commit graph (or sketches, in approximate mode) based on new time window
         timeWindowCommitGraph.clear();
+        if(approximateCounts!=null){
+            timeWindowApproximateCounts = new ApproximateCommitCounts(approximateErrorRate, approximateFailureProbability, approximateCapacity);
+        }
         List<Commit> allCommits = commitDatabase.getAllCommits();
         for(int i=0; i<allCommits.size(); i++){
             Commit commit = (Commit) allCommits.get(i);
             if(commit.getCommitTime()>=startTime && commit.getCommitTime()<=endTime){
-                timeWindowCommitGraph.addToGraph(commit.getCommitFiles());
+                if(timeWindowApproximateCounts!=null){
+                    timeWindowApproximateCounts.addCommit(commit.getCommitFiles());
+                }
+                else{
+                    timeWindowCommitGraph.addToGraph(commit.getCommitFiles());
+                }
             }
         }
         this.startTime = startTime;
@@ -100,6 +127,74 @@ public class CommitManager{
         startTime = -1;
         endTime = -1;
         timeWindowCommitGraph.clear();   //cleared since no time window is in effect
+        timeWindowApproximateCounts = null;   //freed for the same reason
+    }
+
+
+
+    //switches to approximate mode: file tallies (busyClasses) and co-change tallies (components and co-change queries)
+    //are counted with fixed-size sketches instead of exactly, so memory no longer grows with the number of distinct files and pairs.
+    //errorRate and failureProbability bound how far a tally may be over-counted (see CountMinSketch),
+    //and capacity is how many of the most frequent files and pairs are remembered (see SpaceSavingCounter).
+    //capacity should exceed the number of pairs in the largest commit (n files make n*(n-1)/2 pairs), otherwise a single commit
+    //pushes every earlier pair out of the tracked set and pair tallies fall back to the coarser Count-Min estimates.
+    //the sketches take about 4 * 2 * (e / errorRate) * ln(1 / failureProbability) bytes, and setting a time window creates a second
+    //set for the window, doubling that. Both sets together must fit in MAX_SKETCH_COUNTERS counters, otherwise false is returned.
+    //note that only the counts have a fixed memory budget: every commit is still stored (for time windows and the other queries),
+    //so that storage keeps growing with the number of commits
+    boolean setApproximateMode(double errorRate, double failureProbability, int capacity){
+        if(errorRate<=0 || errorRate>=1){
+            return false;
+        }
+        if(failureProbability<=0 || failureProbability>=1){
+            return false;
+        }
+        if(capacity<1){
+            return false;
+        }
+        if(2 * ApproximateCommitCounts.sketchCounterCount(errorRate, failureProbability)>MAX_SKETCH_COUNTERS){   //all-commits and time window sketches would not fit in the budget
+            return false;
+        }
+        approximateErrorRate = errorRate;
+        approximateFailureProbability = failureProbability;
+        approximateCapacity = capacity;
+        approximateCounts = new ApproximateCommitCounts(errorRate, failureProbability, capacity);
+        timeWindowApproximateCounts = null;
+        if(startTime!=-1 && endTime!=-1){   //a time window is set, so it also needs its own sketches
+            timeWindowApproximateCounts = new ApproximateCommitCounts(errorRate, failureProbability, capacity);
+        }
+        //the exact graphs are not kept up to date in approximate mode, so free them
+        commitGraph.clear();
+        timeWindowCommitGraph.clear();
+        //recalculate the sketches from all commits added so far
+        List<Commit> allCommits = commitDatabase.getAllCommits();
+        for(int i=0; i<allCommits.size(); i++){
+            Commit commit = allCommits.get(i);
+            approximateCounts.addCommit(commit.getCommitFiles());
+            if(startTime!=-1 && endTime!=-1 && commit.getCommitTime()>=startTime && commit.getCommitTime()<=endTime){
+                timeWindowApproximateCounts.addCommit(commit.getCommitFiles());
+            }
+        }
+        return true;
+    }
+
+
+
+    //switches back to exact mode, rebuilding the exact graphs from all commits added so far
+    void clearApproximateMode(){
+        if(approximateCounts==null){
+            return;   //already in exact mode
+        }
+        approximateCounts = null;
+        timeWindowApproximateCounts = null;
+        List<Commit> allCommits = commitDatabase.getAllCommits();
+        for(int i=0; i<allCommits.size(); i++){
+            Commit commit = allCommits.get(i);
+            commitGraph.addToGraph(commit.getCommitFiles());
+            if(startTime!=-1 && endTime!=-1 && commit.getCommitTime()>=startTime && commit.getCommitTime()<=endTime){
+                timeWindowCommitGraph.addToGraph(commit.getCommitFiles());
+            }
+        }
     }
 
 
@@ -110,6 +205,10 @@ public class CommitManager{
         }
         components.clear();
         minimumComponentThreshold = threshold;
+        if(approximateCounts!=null){   //approximate mode, so group the files tracked by the sketches (of the time window, if one is set)
+            components = currentApproximateCounts().groupComponents(threshold);
+            return true;
+        }
         if(startTime!=-1 && endTime!=-1){   //a time window is set, so group files within time window into components
             components = timeWindowCommitGraph.groupComponents(threshold);
             return true;
@@ -237,7 +336,13 @@ public class CommitManager{
         List<String> busyClasses = new ArrayList<>();
         //call helper class method that returns a String-Integer map where the string is a file's name and the integer value is the number of times it occurred.
         //note that this map is sorted by its values (number of occurrences) in descending order and only contains files committed during the time window (if one is set)
-        Map<String, Integer> fileOccurrences = commitDatabase.calculateFileOccurrences(startTime, endTime);
+        Map<String, Integer> fileOccurrences;
+        if(approximateCounts!=null){   //approximate mode, so use the sketches' estimated tallies of the most frequent files instead
+            fileOccurrences = currentApproximateCounts().fileOccurrences();
+        }
+        else{
+            fileOccurrences = commitDatabase.calculateFileOccurrences(startTime, endTime);
+        }
         int fileLimitCounter = 1;
         int tiedOccurrenceAtLimit = -1;
         //iterate through the files in the sorted file occurrences map, adding files into the busyClasses list until we hit the limit
@@ -263,4 +368,80 @@ public class CommitManager{
         return busyClasses;
     }
 
+
+    List<String> coChangePartners(String file, int limit) throws IllegalArgumentException{
+        if(file==null){
+            throw new IllegalArgumentException("Null value passed! \n\tSource: coChangePartners");
+        }
+        if(limit<1){
+            throw new IllegalArgumentException("Limit must be greater than 0! \n\tSource: coChangePartners");
+        }
+        //returns the files that appeared together with the given file the most times (strongest first, ties broken alphabetically)
+        //within the time window if one is set, otherwise across all commits
+        if(approximateCounts!=null){
+            return currentApproximateCounts().topPartners(file, limit);
+        }
+        return currentCommitGraph().topPartners(file, limit);
+    }
+
+
+
+    List<Set<String>> coChangePairs(int limit) throws IllegalArgumentException{
+        if(limit<1){
+            throw new IllegalArgumentException("Limit must be greater than 0! \n\tSource: coChangePairs");
+        }
+        //returns the pairs of files that appeared together the most times (strongest first, ties broken alphabetically)
+        //within the time window if one is set, otherwise across all commits
+        if(approximateCounts!=null){
+            return currentApproximateCounts().topPairs(limit);
+        }
+        return currentCommitGraph().topPairs(limit);
+    }
+
+
+
+    int couplingStrength(String file1, String file2) throws IllegalArgumentException{
+        if(file1==null || file2==null){
+            throw new IllegalArgumentException("Null value passed! \n\tSource: couplingStrength");
+        }
+        //number of commits (within the time window if one is set) that contained both files (estimated in approximate mode)
+        if(approximateCounts!=null){
+            return currentApproximateCounts().occurrencesTogether(file1, file2);
+        }
+        return currentCommitGraph().occurrencesTogether(file1, file2);
+    }
+
+
+
+    int fileOccurrences(String file) throws IllegalArgumentException{
+        if(file==null){
+            throw new IllegalArgumentException("Null value passed! \n\tSource: fileOccurrences");
+        }
+        //number of commits (within the time window if one is set) that contained the file (estimated in approximate mode)
+        if(approximateCounts!=null){
+            return currentApproximateCounts().occurrences(file);
+        }
+        return commitDatabase.countFileOccurrences(file, startTime, endTime);
+    }
+
+
+
+    //returns the time window's graph if a time window is set, otherwise the graph of all commits
+    private CommitFileGraph currentCommitGraph(){
+        if(startTime!=-1 && endTime!=-1){
+            return timeWindowCommitGraph;
+        }
+        return commitGraph;
+    }
+
+
+
+    //returns the time window's sketches if a time window is set, otherwise the sketches of all commits (approximate mode only)
+    private ApproximateCommitCounts currentApproximateCounts(){
+        if(startTime!=-1 && endTime!=-1){
+            return timeWindowApproximateCounts;
+        }
+        return approximateCounts;
+    }
+
 }
@@ -0,0 +1,137 @@
+import java.util.*;
+
+//this class is a Count-Min sketch: it counts how many times each string was added using a fixed amount of memory,
+//no matter how many distinct strings are added. Estimates are never lower than the true count, and with
+//probability at least (1 - failureProbability) they are at most errorRate * (total number of additions) too high
+public class CountMinSketch {
+
+    //FNV-1a 64-bit hash constants
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    //table of counters with one row per hash function. Each added string increments one counter in every row,
+    //and its estimate is the smallest of those counters (the one least inflated by other strings sharing its counters)
+    private int[][] counters;
+    private long firstHashSeed;
+    private long secondHashSeed;
+    private int width;
+    private int depth;
+
+
+    CountMinSketch(double errorRate, double failureProbability){
+        width = width(errorRate);
+        depth = depth(failureProbability);
+        counters = new int[depth][width];
+        Random random = new Random(depth * 31L + width);   //fixed seed so the same commits always produce the same estimates
+        firstHashSeed = random.nextLong();
+        secondHashSeed = random.nextLong();
+    }
+
+
+    //number of counters per row: more counters per row means fewer strings sharing a counter
+    private static int width(double errorRate){
+        return (int) Math.ceil(Math.E / errorRate);
+    }
+
+
+    //number of rows: more rows means less chance every row is inflated
+    private static int depth(double failureProbability){
+        return (int) Math.ceil(Math.log(1 / failureProbability));
+    }
+
+
+    //returns how many counters (4 bytes each) a sketch with these error bounds holds, so callers can check it against
+    //a memory budget before creating one. Calculated in floating point so very small error bounds do not overflow
+    static double counterCount(double errorRate, double failureProbability){
+        return Math.ceil(Math.E / errorRate) * Math.ceil(Math.log(1 / failureProbability));
+    }
+
+
+    void add(String key){
+        long firstHash = firstHash(key);
+        add(firstHash, secondHash(firstHash));
+    }
+
+
+    int estimate(String key){
+        long firstHash = firstHash(key);
+        return estimate(firstHash, secondHash(firstHash));
+    }
+
+
+    //same as add(String) for a key whose two hashes were already calculated with firstHash(..) and secondHash(..)
+    //(or combined from such hashes with combineHashes(..)), so callers can hash each string once and reuse it
+    void add(long firstHash, long secondHash){
+        for(int row=0; row<depth; row++){
+            counters[row][column(firstHash, secondHash, row)]++;
+        }
+    }
+
+
+    int estimate(long firstHash, long secondHash){
+        int estimate = Integer.MAX_VALUE;
+        for(int row=0; row<depth; row++){
+            estimate = Math.min(estimate, counters[row][column(firstHash, secondHash, row)]);
+        }
+        return estimate;
+    }
+
+
+    //the first of the two hashes every key is counted with: a seeded 64-bit hash of the string's characters
+    long firstHash(String key){
+        return hash(key, firstHashSeed);
+    }
+
+
+    //the second hash, derived from the first (re-mixed with a different seed) so the string's characters are only read once
+    long secondHash(long firstHash){
+        return mix(firstHash ^ secondHashSeed);
+    }
+
+
+    //combines the hashes of two strings into one hash for the (unordered) pair, so a pair can be counted without building
+    //a string for it. The two hashes are put in numeric order first so both orders of the pair give the same result
+    static long combineHashes(long hash1, long hash2){
+        long smaller = Math.min(hash1, hash2);
+        long larger = Math.max(hash1, hash2);
+        return mix(smaller * 0x9e3779b97f4a7c15L + larger);
+    }
+
+
+    //seeded 64-bit hash of the string's characters (FNV-1a, followed by a final mix so every bit of the result depends on every character).
+    //String.hashCode() is not used: it is only 32 bits and strings with equal hashCode are easy to hit, and those would share a counter in every row
+    private long hash(String key, long seed){
+        long hash = FNV_OFFSET_BASIS ^ seed;
+        for(int i=0; i<key.length(); i++){
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+
+    //spreads every bit of the input across the whole result (the finalizer of the 64-bit MurmurHash3)
+    private static long mix(long hash){
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+
+    //maps a string's two hashes to a counter in the given row. Each row uses a different combination of the two
+    //independent hashes (firstHash + row * secondHash), which behaves like a separate hash function per row
+    private int column(long firstHash, long secondHash, int row){
+        return (int) Math.floorMod(firstHash + row * secondHash, (long) width);
+    }
+
+
+    void clear(){
+        for(int row=0; row<depth; row++){
+            Arrays.fill(counters[row], 0);
+        }
+    }
+
+}
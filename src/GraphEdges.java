@@ -9,8 +9,14 @@ public class GraphEdges {
     //denotes how many times they appeared together
     private Map<String, Integer> edges;
 
+    //adjacent vertices sorted by how many times they appeared with this file (descending), ties broken by file name,
+    //so the strongest co-change partners can be read straight off the front. Only sorted when queried, and set
+    //back to null whenever an edge changes, so adding commits does not pay for sorting
+    private List<Map.Entry<String, Integer>> sortedEdges;
+
     GraphEdges(){
         edges = new HashMap<>();
+        sortedEdges = null;
     }
 
 
@@ -28,6 +34,7 @@ public class GraphEdges {
                 }
             }
         }
+        sortedEdges = null;   //tallies changed, so the sorted order has to be recalculated on the next query
     }
 
 
@@ -35,4 +42,33 @@ public class GraphEdges {
         return edges;
     }
 
+
+    //returns the edges (adjacent vertex and tally) sorted by tally (descending), sorting them first if the edges changed since the last call
+    private List<Map.Entry<String, Integer>> getSortedEdges(){
+        if(sortedEdges==null){
+            sortedEdges = new ArrayList<>(edges.entrySet());
+            sortedEdges.sort(new Comparator<Map.Entry<String, Integer>>(){
+                public int compare(Map.Entry<String, Integer> edge1, Map.Entry<String, Integer> edge2){
+                    int occurrencesCompare = Integer.compare(edge2.getValue(), edge1.getValue());
+                    if(occurrencesCompare!=0){
+                        return occurrencesCompare;
+                    }
+                    return edge1.getKey().compareTo(edge2.getKey());
+                }
+            });
+        }
+        return sortedEdges;
+    }
+
+
+    //returns (at most) the "limit" files that appeared together with this file the most times, in descending order
+    List<String> topEdges(int limit){
+        List<Map.Entry<String, Integer>> sorted = getSortedEdges();
+        List<String> topEdges = new ArrayList<>();
+        for(int i=0; i<sorted.size() && i<limit; i++){
+            topEdges.add(sorted.get(i).getKey());
+        }
+        return topEdges;
+    }
+
 }
@@ -0,0 +1,88 @@
+//this class is one bucket of SpaceSavingCounter's Stream-Summary structure: all the keys that currently have the same count.
+//buckets are linked in order of count, so a key can move to the next count up (or be evicted from the smallest count) in constant time
+public class SpaceSavingBucket<K> {
+
+    private int count;
+    //the bucket's entries, chained in the order they joined it, so the entry evicted from the smallest bucket is always the one that has been there longest
+    private SpaceSavingEntry<K> firstEntry;
+    private SpaceSavingEntry<K> lastEntry;
+    private SpaceSavingBucket<K> smaller;   //bucket with the next smaller count (null if this is the smallest)
+    private SpaceSavingBucket<K> larger;   //bucket with the next larger count (null if this is the largest)
+
+
+    SpaceSavingBucket(int count){
+        this.count = count;
+        firstEntry = null;
+        lastEntry = null;
+        smaller = null;
+        larger = null;
+    }
+
+
+    //adds an entry to the end of this bucket's chain
+    void append(SpaceSavingEntry<K> entry){
+        entry.setBucket(this);
+        entry.setPrevious(lastEntry);
+        entry.setNext(null);
+        if(lastEntry!=null){
+            lastEntry.setNext(entry);
+        }
+        else{
+            firstEntry = entry;
+        }
+        lastEntry = entry;
+    }
+
+
+    //takes an entry out of this bucket's chain
+    void remove(SpaceSavingEntry<K> entry){
+        if(entry.getPrevious()!=null){
+            entry.getPrevious().setNext(entry.getNext());
+        }
+        else{
+            firstEntry = entry.getNext();
+        }
+        if(entry.getNext()!=null){
+            entry.getNext().setPrevious(entry.getPrevious());
+        }
+        else{
+            lastEntry = entry.getPrevious();
+        }
+        entry.setBucket(null);
+        entry.setPrevious(null);
+        entry.setNext(null);
+    }
+
+
+    boolean isEmpty(){
+        return firstEntry==null;
+    }
+
+
+    /*various getter and setter functions*/
+
+    int getCount(){
+        return count;
+    }
+
+    SpaceSavingEntry<K> getFirstEntry(){
+        return firstEntry;
+    }
+
+    SpaceSavingBucket<K> getSmaller(){
+        return smaller;
+    }
+
+    SpaceSavingBucket<K> getLarger(){
+        return larger;
+    }
+
+    void setSmaller(SpaceSavingBucket<K> smaller){
+        this.smaller = smaller;
+    }
+
+    void setLarger(SpaceSavingBucket<K> larger){
+        this.larger = larger;
+    }
+
+}
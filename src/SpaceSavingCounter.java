@@ -0,0 +1,137 @@
+import java.util.*;
+
+//this class keeps approximate counts for (at most) a fixed number of keys using the Space-Saving algorithm.
+//when a new key arrives and the counter is full, the key with the smallest count is replaced by the new one,
+//which inherits that count plus one. Counts are never lower than the true count and are at most
+//(total number of additions / capacity) too high, and any key added more than that many times is always kept
+public class SpaceSavingCounter<K> {
+
+    private int capacity;
+
+    //counts are stored in a Stream-Summary structure: keys with the same count share a bucket, and the buckets form a
+    //linked list ordered by count. Incrementing a key only relinks its entry into the neighbouring bucket, and the key to replace
+    //is always the first entry of the smallest bucket, so every add(..) takes constant time (one map lookup plus a few link changes)
+    private Map<K, SpaceSavingEntry<K>> keyEntries;
+    private SpaceSavingBucket<K> smallestBucket;
+    private SpaceSavingBucket<K> largestBucket;
+
+
+    SpaceSavingCounter(int capacity){
+        this.capacity = capacity;
+        keyEntries = new HashMap<>();
+        smallestBucket = null;
+        largestBucket = null;
+    }
+
+
+    //counts one more occurrence of the key. Returns the key that was replaced to make room for it, or null if none was
+    K add(K key){
+        SpaceSavingEntry<K> entry = keyEntries.get(key);
+        if(entry!=null){   //key already counted, so increment its count
+            increment(entry);
+            return null;
+        }
+        if(keyEntries.size()<capacity){   //room left, so start counting the key
+            if(smallestBucket==null || smallestBucket.getCount()!=1){
+                linkBetween(new SpaceSavingBucket<K>(1), null, smallestBucket);
+            }
+            entry = new SpaceSavingEntry<>(key);
+            smallestBucket.append(entry);
+            keyEntries.put(key, entry);
+            return null;
+        }
+        //full, so the key that has had the smallest count longest makes room for this one, which takes over its entry and count plus one
+        SpaceSavingBucket<K> replacedBucket = smallestBucket;
+        SpaceSavingEntry<K> replacedEntry = replacedBucket.getFirstEntry();
+        K replaced = replacedEntry.getKey();
+        replacedBucket.remove(replacedEntry);
+        keyEntries.remove(replaced);
+        entry = new SpaceSavingEntry<>(key);
+        replacedBucket.append(entry);
+        keyEntries.put(key, entry);
+        increment(entry);
+        return replaced;
+    }
+
+
+    //moves an entry from its bucket to the bucket with the next count up, creating that bucket if needed
+    //and removing the old bucket if it is left empty
+    private void increment(SpaceSavingEntry<K> entry){
+        SpaceSavingBucket<K> bucket = entry.getBucket();
+        SpaceSavingBucket<K> nextBucket = bucket.getLarger();
+        if(nextBucket==null || nextBucket.getCount()!=bucket.getCount()+1){
+            nextBucket = new SpaceSavingBucket<>(bucket.getCount() + 1);
+            linkBetween(nextBucket, bucket, bucket.getLarger());
+        }
+        bucket.remove(entry);
+        nextBucket.append(entry);
+        if(bucket.isEmpty()){
+            unlink(bucket);
+        }
+    }
+
+
+    //inserts a bucket into the list between two neighbouring buckets (null denotes the end of the list)
+    private void linkBetween(SpaceSavingBucket<K> bucket, SpaceSavingBucket<K> smaller, SpaceSavingBucket<K> larger){
+        bucket.setSmaller(smaller);
+        bucket.setLarger(larger);
+        if(smaller!=null){
+            smaller.setLarger(bucket);
+        }
+        else{
+            smallestBucket = bucket;
+        }
+        if(larger!=null){
+            larger.setSmaller(bucket);
+        }
+        else{
+            largestBucket = bucket;
+        }
+    }
+
+
+    private void unlink(SpaceSavingBucket<K> bucket){
+        if(bucket.getSmaller()!=null){
+            bucket.getSmaller().setLarger(bucket.getLarger());
+        }
+        else{
+            smallestBucket = bucket.getLarger();
+        }
+        if(bucket.getLarger()!=null){
+            bucket.getLarger().setSmaller(bucket.getSmaller());
+        }
+        else{
+            largestBucket = bucket.getSmaller();
+        }
+    }
+
+
+    //returns the key's count, or 0 if the key is not currently being counted
+    int count(K key){
+        SpaceSavingEntry<K> entry = keyEntries.get(key);
+        if(entry==null){
+            return 0;
+        }
+        return entry.getBucket().getCount();
+    }
+
+
+    //returns the keys currently being counted, largest count first
+    List<K> sortedKeys(){
+        List<K> sortedKeys = new ArrayList<>();
+        for(SpaceSavingBucket<K> bucket=largestBucket; bucket!=null; bucket=bucket.getSmaller()){
+            for(SpaceSavingEntry<K> entry=bucket.getFirstEntry(); entry!=null; entry=entry.getNext()){
+                sortedKeys.add(entry.getKey());
+            }
+        }
+        return sortedKeys;
+    }
+
+
+    void clear(){
+        keyEntries.clear();
+        smallestBucket = null;
+        largestBucket = null;
+    }
+
+}
@@ -0,0 +1,49 @@
+//this class is one key counted by SpaceSavingCounter. Entries with the same count are chained together in their
+//SpaceSavingBucket (oldest first), so moving a key to another bucket only changes a few links
+public class SpaceSavingEntry<K> {
+
+    private K key;
+    private SpaceSavingBucket<K> bucket;
+    private SpaceSavingEntry<K> previous;   //entry that joined the same bucket before this one (null if this is the first)
+    private SpaceSavingEntry<K> next;   //entry that joined the same bucket after this one (null if this is the last)
+
+
+    SpaceSavingEntry(K key){
+        this.key = key;
+        bucket = null;
+        previous = null;
+        next = null;
+    }
+
+
+    /*various getter and setter functions*/
+
+    K getKey(){
+        return key;
+    }
+
+    SpaceSavingBucket<K> getBucket(){
+        return bucket;
+    }
+
+    SpaceSavingEntry<K> getPrevious(){
+        return previous;
+    }
+
+    SpaceSavingEntry<K> getNext(){
+        return next;
+    }
+
+    void setBucket(SpaceSavingBucket<K> bucket){
+        this.bucket = bucket;
+    }
+
+    void setPrevious(SpaceSavingEntry<K> previous){
+        this.previous = previous;
+    }
+
+    void setNext(SpaceSavingEntry<K> next){
+        this.next = next;
+    }
+
+}